@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Limits how many remote calls run at once and how often they start.
+ *
+ * Calls are limited in two ways:
+ *  - A bulkhead caps the number of remote calls running at the same time.
+ *  - A token bucket caps the rate that calls start, while still allowing
+ *    short bursts up to the bucket size.
+ *
+ * Waiting callers are served in the order they arrived, regardless of which
+ * key they are loading, so a burst of requests for one key cannot starve
+ * requests for others.
+ * An optional maximum wait keeps latency bounded under load: callers that
+ * would wait longer fail with a {@link TimeoutException} instead, which is
+ * delivered to the subscriber as an error like any other remote failure.
+ */
+public class BulkheadGovernor implements RemoteGovernor
+{
+    /** Maximum wait used when callers should wait indefinitely. */
+    final public static long NO_TIMEOUT = -1;
+
+    /** Permits for remote calls that are allowed to run at once. */
+    final private Semaphore bulkhead;
+
+    /** Time it takes for the bucket to gain one token, or 0 for no rate limit. */
+    final private long nanosPerToken;
+
+    /** The maximum number of tokens that can be saved up for a burst. */
+    final private double burst;
+
+    /** The longest a caller may wait to start a call, or NO_TIMEOUT. */
+    final private long maxWaitNanos;
+
+    /** Tokens currently available. Negative when calls are waiting on a token. */
+    private double tokens;
+
+    /** The last time tokens were added to the bucket. */
+    private long lastRefill;
+
+    /**
+     * @param maxConcurrent The maximum number of remote calls to run at once.
+     * @param callsPerSecond The rate that calls may start, or 0 for no rate limit.
+     * @param burst The number of calls that may start at once before the rate applies.
+     * @param maxWait The longest a caller may wait to start a call, or NO_TIMEOUT.
+     * @param maxWaitUnit Time unit of the maximum wait.
+     */
+    public BulkheadGovernor(
+        int maxConcurrent,
+        double callsPerSecond,
+        int burst,
+        long maxWait,
+        TimeUnit maxWaitUnit
+    ) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1. Got: " + maxConcurrent);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1. Got: " + burst);
+        }
+
+        this.bulkhead = new Semaphore(maxConcurrent, true);
+        this.nanosPerToken = callsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / callsPerSecond) : 0;
+        this.burst = burst;
+        this.maxWaitNanos = NO_TIMEOUT == maxWait ? NO_TIMEOUT : maxWaitUnit.toNanos(maxWait);
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * @param maxConcurrent The maximum number of remote calls to run at once.
+     * @param callsPerSecond The rate that calls may start, or 0 for no rate limit.
+     */
+    public BulkheadGovernor(int maxConcurrent, double callsPerSecond)
+    {
+        this(maxConcurrent, callsPerSecond, maxConcurrent, NO_TIMEOUT, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void acquire() throws InterruptedException, TimeoutException
+    {
+        long started = System.nanoTime();
+
+        long delay = this.reserveToken(started);
+        if (NO_TIMEOUT != this.maxWaitNanos && delay > this.maxWaitNanos) {
+            this.returnToken();
+            throw new TimeoutException("Remote call rate limited beyond the maximum wait.");
+        }
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+
+        if (NO_TIMEOUT == this.maxWaitNanos) {
+            this.bulkhead.acquire();
+            return;
+        }
+
+        long remaining = this.maxWaitNanos - (System.nanoTime() - started);
+        if (false == this.bulkhead.tryAcquire(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+            this.returnToken();
+            throw new TimeoutException("Too many remote calls running to start within the maximum wait.");
+        }
+    }
+
+    @Override
+    public void release()
+    {
+        this.bulkhead.release();
+    }
+
+    /**
+     * Take a token from the bucket, reserving a future one if it's empty.
+     *
+     * Reservations are handed out in order, so callers waiting on a token
+     * start in the order they arrived.
+     *
+     * @param now The current time in nanoseconds.
+     * @return How long to wait, in nanoseconds, before the token can be used.
+     */
+    private synchronized long reserveToken(long now)
+    {
+        if (0 == this.nanosPerToken) {
+            return 0;
+        }
+
+        double earned = (double) (now - this.lastRefill) / this.nanosPerToken;
+        this.tokens = Math.min(this.burst, this.tokens + earned);
+        this.lastRefill = now;
+
+        this.tokens -= 1;
+        if (this.tokens >= 0) {
+            return 0;
+        }
+
+        return (long) (-this.tokens * this.nanosPerToken);
+    }
+
+    /**
+     * Give back a reserved token that won't be used.
+     */
+    private synchronized void returnToken()
+    {
+        if (0 == this.nanosPerToken) {
+            return;
+        }
+
+        this.tokens += 1;
+    }
+}
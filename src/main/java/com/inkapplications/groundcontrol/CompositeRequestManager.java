@@ -37,6 +37,9 @@ public class CompositeRequestManager<ENTITY>
     /** Action performed when a child unsubscribes. */
     final private Action0 unsubscribeAction;
 
+    /** The trace of the request, or null if it isn't being traced. */
+    final private RequestTrace trace;
+
     /** The number of child subjects in the composite. */
     private int subscriptions = 0;
 
@@ -49,17 +52,34 @@ public class CompositeRequestManager<ENTITY>
         ReplaySubject<ENTITY> composite,
         Subscription subscription,
         Action0 unsubscribeAction
+    ) {
+        this(composite, subscription, unsubscribeAction, null);
+    }
+
+    /**
+     * @param composite The subject containing multiple child subjects.
+     * @param subscription The subscription to cancel the main composite subject.
+     * @param unsubscribeAction Action performed when a child unsubscribes.
+     * @param trace The trace of the request, or null if it isn't being traced.
+     */
+    public CompositeRequestManager(
+        ReplaySubject<ENTITY> composite,
+        Subscription subscription,
+        Action0 unsubscribeAction,
+        RequestTrace trace
     ) {
         this.composite = composite;
         this.subscription = subscription;
         this.unsubscribeAction = unsubscribeAction;
+        this.trace = trace;
     }
 
     /**
      * Subscribe a new observer to the composite request.
      *
      * This will subscribe the observer to the bound subject and add the bound
-     * unsubscribe action.
+     * unsubscribe action. Traced observers also record their span when they
+     * unsubscribe, so that observers that leave early are still traced.
      *
      * @param observer The observer to subscribe to the request.
      * @return A subscription to cancel updates for the specified observer, not the whole subject.
@@ -69,6 +89,9 @@ public class CompositeRequestManager<ENTITY>
         this.subscriptions++;
 
         Observable<ENTITY> observable = this.composite.doOnUnsubscribe(this.unsubscribeAction);
+        if (observer instanceof TracedObserver) {
+            observable = observable.doOnUnsubscribe((TracedObserver<ENTITY>) observer);
+        }
 
         return observable.subscribe(observer);
     }
@@ -92,6 +115,17 @@ public class CompositeRequestManager<ENTITY>
         this.subscriptions--;
     }
 
+    /**
+     * Get the trace of the composite request.
+     *
+     * @return The trace to record joined observers on, or null if the request
+     *         isn't being traced.
+     */
+    final public RequestTrace getTrace()
+    {
+        return this.trace;
+    }
+
     /**
      * Get the number of subscribers that are still observing the composite subject.
      *
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.functions.Action1;
+
+/**
+ * Marks results on either side of the observe scheduler of a traced request.
+ *
+ * One marker is placed before the hand-off to the observe scheduler and
+ * another after it, so that the time spent waiting on delivery can be
+ * recorded for each result.
+ *
+ * @param <ENTITY> The type of data being emitted by the request.
+ */
+final class DeliveryMarker<ENTITY> implements Action1<ENTITY>
+{
+    /** The trace of the request. */
+    final private RequestTrace trace;
+
+    /** Whether this marker is placed after the observe scheduler. */
+    final private boolean delivered;
+
+    /**
+     * @param trace The trace of the request.
+     * @param delivered Whether this marker is placed after the observe scheduler.
+     */
+    public DeliveryMarker(RequestTrace trace, boolean delivered)
+    {
+        this.trace = trace;
+        this.delivered = delivered;
+    }
+
+    @Override
+    public void call(ENTITY entity)
+    {
+        if (this.delivered) {
+            this.trace.markDelivered();
+        } else {
+            this.trace.markEmitted();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+/**
+ * Governor that never limits remote calls, here as a default for compatibility.
+ */
+final class NullGovernor implements RemoteGovernor
+{
+    @Override public void acquire() {}
+    @Override public void release() {}
+}
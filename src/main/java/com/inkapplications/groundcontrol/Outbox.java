@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A persistent queue of local changes waiting to be sent to a remote source.
+ *
+ * This is the outbound counterpart to the sync workers. Rather than making a
+ * remote call for every local edit, mutations are queued here and sent in
+ * batches. Repeated writes to the same entity are merged into a single
+ * queued mutation, so an entity edited several times before a flush only
+ * costs one upload.
+ *
+ * A batch is flushed when the queue reaches the batch size, or once the flush
+ * delay has passed since a write was queued; whichever comes first.
+ * Flushes run one at a time on a single scheduler worker, so batches are sent
+ * in the order their entities were first queued, and a batch is never sent
+ * before the previous one has succeeded. A failed batch is put back at the
+ * front of the queue and retried after the flush delay.
+ *
+ * Every mutation is saved locally before it is accepted and only removed
+ * after the remote save succeeds. Anything left in the queue by a previous
+ * process is reloaded before the first mutation is queued, or earlier by
+ * calling {@link #restore()} on startup.
+ *
+ * The scheduler should be a background scheduler, such as IO. Flushes
+ * must not run synchronously on the thread that queues a mutation.
+ *
+ * @param <MUTATION> The type of change being queued for the remote source.
+ */
+abstract public class Outbox<MUTATION>
+{
+    final private Log logger;
+
+    /** Runs flushes sequentially, in the order they were scheduled. */
+    final private Scheduler.Worker scheduler;
+
+    /** Action run by the scheduler to send the next batch. */
+    final private Action0 flushAction;
+
+    /** The maximum number of mutations to send in a single remote call. */
+    final private int batchSize;
+
+    /** How long a queued mutation can wait before a flush is forced. */
+    final private long flushDelay;
+
+    /** Time unit of the flush delay. */
+    final private TimeUnit flushDelayUnit;
+
+    /** Mutations waiting to be sent, keyed by entity in the order first queued. */
+    final private LinkedHashMap<String, MUTATION> pending = new LinkedHashMap<String, MUTATION>();
+
+    /** The batch currently being sent to the remote source. */
+    private LinkedHashMap<String, MUTATION> inFlight = new LinkedHashMap<String, MUTATION>();
+
+    /** The next scheduled flush, or null if none is scheduled. */
+    private Subscription scheduledFlush;
+
+    /** Whether the next scheduled flush runs immediately rather than delayed. */
+    private boolean scheduledImmediately = false;
+
+    /** Whether a batch failed and flushes are waiting out the flush delay. */
+    private boolean retrying = false;
+
+    /** Whether the local queue left by a previous process has been loaded. */
+    private boolean restored = false;
+
+    /**
+     * @param logger Log queue and flush events.
+     * @param scheduler Background scheduler to send batches on.
+     * @param batchSize The maximum number of mutations to send in a single remote call.
+     * @param flushDelay How long a queued mutation can wait before a flush is forced.
+     * @param flushDelayUnit Time unit of the flush delay.
+     */
+    public Outbox(
+        Log logger,
+        Scheduler scheduler,
+        int batchSize,
+        long flushDelay,
+        TimeUnit flushDelayUnit
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1. Got: " + batchSize);
+        }
+
+        this.logger = logger;
+        this.scheduler = scheduler.createWorker();
+        this.flushAction = new OutboxFlush(this);
+        this.batchSize = batchSize;
+        this.flushDelay = flushDelay;
+        this.flushDelayUnit = flushDelayUnit;
+    }
+
+    /**
+     * @param scheduler Background scheduler to send batches on.
+     * @param batchSize The maximum number of mutations to send in a single remote call.
+     * @param flushDelay How long a queued mutation can wait before a flush is forced.
+     * @param flushDelayUnit Time unit of the flush delay.
+     */
+    public Outbox(Scheduler scheduler, int batchSize, long flushDelay, TimeUnit flushDelayUnit)
+    {
+        this(new NullLogger(), scheduler, batchSize, flushDelay, flushDelayUnit);
+    }
+
+    /**
+     * Queue a local change to be sent to the remote source.
+     *
+     * If a change to the same entity is already waiting, the two are merged
+     * and keep the original position in the queue.
+     * The mutation is saved locally before this returns, so it will survive
+     * a restart even if it has not been sent yet.
+     *
+     * @param mutation The change to send.
+     * @throws SQLException If the mutation could not be saved to the local queue.
+     */
+    final public synchronized void enqueue(MUTATION mutation) throws SQLException
+    {
+        this.restore();
+
+        String key = this.keyOf(mutation);
+        MUTATION previous = this.pending.get(key);
+        MUTATION queued = null == previous ? mutation : this.merge(previous, mutation);
+
+        MUTATION sending = this.inFlight.get(key);
+        MUTATION stored = null == sending ? queued : this.merge(sending, queued);
+        this.saveLocal(key, stored);
+
+        this.pending.put(key, queued);
+        this.logger.trace("Queued mutation for key: " + key);
+
+        this.scheduleFlush(this.pending.size() >= this.batchSize);
+    }
+
+    /**
+     * Reload mutations left in the local queue by a previous process.
+     *
+     * The local queue is only loaded once; later calls do nothing. This runs
+     * automatically before the first mutation is queued, so that a new write
+     * is merged into the stored one rather than replacing it.
+     *
+     * @throws SQLException If the local queue could not be read.
+     */
+    final public synchronized void restore() throws SQLException
+    {
+        if (this.restored) {
+            return;
+        }
+
+        Map<String, MUTATION> stored = this.lookupLocal();
+        this.restored = true;
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        this.logger.debug("Restoring " + stored.size() + " queued mutations.");
+        for (Map.Entry<String, MUTATION> entry : stored.entrySet()) {
+            String key = entry.getKey();
+            if (this.pending.containsKey(key) || this.inFlight.containsKey(key)) {
+                continue;
+            }
+            this.pending.put(key, entry.getValue());
+        }
+
+        this.scheduleFlush(true);
+    }
+
+    /**
+     * Send any queued mutations now rather than waiting for the flush delay.
+     *
+     * If the last batch failed, the retry still waits for the flush delay.
+     *
+     * @throws SQLException If the local queue left by a previous process could not be read.
+     */
+    final public synchronized void flush() throws SQLException
+    {
+        this.restore();
+
+        if (this.pending.isEmpty()) {
+            return;
+        }
+
+        this.scheduleFlush(true);
+    }
+
+    /**
+     * Get the number of mutations waiting to be sent.
+     *
+     * This does not include a batch that is currently being sent.
+     *
+     * @return The number of queued mutations.
+     */
+    final public synchronized int size()
+    {
+        return this.pending.size();
+    }
+
+    /**
+     * Stop sending batches and release the scheduler worker.
+     *
+     * Mutations that have not been sent stay in the local queue and will be
+     * restored by the next outbox created for it.
+     */
+    final public synchronized void close()
+    {
+        this.scheduledFlush = null;
+        this.scheduler.unsubscribe();
+    }
+
+    /**
+     * Send the next batch of queued mutations to the remote source.
+     *
+     * Invoked by the scheduler; only one of these runs at a time.
+     */
+    final void send()
+    {
+        LinkedHashMap<String, MUTATION> batch = this.takeBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        this.logger.debug("Sending batch of " + batch.size() + " mutations.");
+        try {
+            this.saveRemote(new ArrayList<MUTATION>(batch.values()));
+        } catch (Exception e) {
+            this.logger.warn("Failed to send batch. Retrying later.", e);
+            this.requeue(batch);
+            return;
+        }
+
+        this.complete(batch);
+    }
+
+    /**
+     * Move the next batch of mutations from the queue to in-flight.
+     */
+    private synchronized LinkedHashMap<String, MUTATION> takeBatch()
+    {
+        this.scheduledFlush = null;
+
+        LinkedHashMap<String, MUTATION> batch = new LinkedHashMap<String, MUTATION>();
+        Iterator<Map.Entry<String, MUTATION>> iterator = this.pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < this.batchSize) {
+            Map.Entry<String, MUTATION> entry = iterator.next();
+            batch.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+        this.inFlight = batch;
+
+        return batch;
+    }
+
+    /**
+     * Remove a successfully sent batch from the local queue.
+     *
+     * Keys that were written to again while the batch was in flight are kept,
+     * but re-saved with only the newer change, so that the change that was
+     * just sent is not sent again after a restart.
+     */
+    private synchronized void complete(LinkedHashMap<String, MUTATION> batch)
+    {
+        this.inFlight = new LinkedHashMap<String, MUTATION>();
+        this.retrying = false;
+
+        for (String key : batch.keySet()) {
+            try {
+                if (this.pending.containsKey(key)) {
+                    this.saveLocal(key, this.pending.get(key));
+                } else {
+                    this.removeLocal(key);
+                }
+            } catch (SQLException e) {
+                this.logger.error("Failed to update sent mutation for key: " + key, e);
+            }
+        }
+
+        if (false == this.pending.isEmpty()) {
+            this.scheduleFlush(this.pending.size() >= this.batchSize);
+        }
+    }
+
+    /**
+     * Put a failed batch back at the front of the queue and retry later.
+     *
+     * Until a batch is sent successfully, every flush waits the full flush
+     * delay, so that new writes don't retry a failing remote immediately.
+     */
+    private synchronized void requeue(LinkedHashMap<String, MUTATION> batch)
+    {
+        this.inFlight = new LinkedHashMap<String, MUTATION>();
+        this.retrying = true;
+        this.prepend(batch);
+        this.scheduleFlush(false);
+    }
+
+    /**
+     * Place mutations ahead of the pending queue, merging any newer writes
+     * to the same entity into them.
+     */
+    private void prepend(Map<String, MUTATION> mutations)
+    {
+        LinkedHashMap<String, MUTATION> ordered = new LinkedHashMap<String, MUTATION>();
+        for (Map.Entry<String, MUTATION> entry : mutations.entrySet()) {
+            String key = entry.getKey();
+            MUTATION newer = this.pending.remove(key);
+            MUTATION mutation = null == newer ? entry.getValue() : this.merge(entry.getValue(), newer);
+            ordered.put(key, mutation);
+        }
+        ordered.putAll(this.pending);
+
+        this.pending.clear();
+        this.pending.putAll(ordered);
+    }
+
+    /**
+     * Schedule the next flush, if one isn't already scheduled.
+     *
+     * An immediate flush replaces a delayed one that has not run yet, unless
+     * the last batch failed, in which case flushes are always delayed.
+     *
+     * @param immediately Whether to flush now rather than after the flush delay.
+     */
+    private void scheduleFlush(boolean immediately)
+    {
+        if (this.retrying) {
+            immediately = false;
+        }
+
+        if (null != this.scheduledFlush) {
+            if (this.scheduledImmediately || false == immediately) {
+                return;
+            }
+            this.scheduledFlush.unsubscribe();
+        }
+
+        this.scheduledImmediately = immediately;
+        if (immediately) {
+            this.scheduledFlush = this.scheduler.schedule(this.flushAction);
+        } else {
+            this.scheduledFlush = this.scheduler.schedule(this.flushAction, this.flushDelay, this.flushDelayUnit);
+        }
+    }
+
+    /**
+     * Identify the entity that a mutation changes.
+     *
+     * Mutations with the same key are merged while waiting in the queue.
+     *
+     * @param mutation The change to identify.
+     * @return A unique key for the entity being changed.
+     */
+    abstract public String keyOf(MUTATION mutation);
+
+    /**
+     * Combine two changes to the same entity into one.
+     *
+     * @param previous The change that was queued first.
+     * @param next The newer change to apply on top of it.
+     * @return A single mutation with the effect of both changes.
+     */
+    abstract public MUTATION merge(MUTATION previous, MUTATION next);
+
+    /**
+     * Look up every mutation saved in the local queue.
+     *
+     * @return The queued mutations by key, in the order they were first queued.
+     * @throws SQLException If something goes wrong reading the local queue.
+     */
+    abstract public Map<String, MUTATION> lookupLocal() throws SQLException;
+
+    /**
+     * Save a mutation to the local queue, replacing any stored for the same key.
+     *
+     * @param key The key of the entity being changed.
+     * @param mutation The change to store.
+     * @throws SQLException If something goes wrong saving to the local queue.
+     */
+    abstract public void saveLocal(String key, MUTATION mutation) throws SQLException;
+
+    /**
+     * Remove a sent mutation from the local queue.
+     *
+     * @param key The key of the entity that was sent.
+     * @throws SQLException If something goes wrong removing from the local queue.
+     */
+    abstract public void removeLocal(String key) throws SQLException;
+
+    /**
+     * Send a batch of changes to the remote source.
+     *
+     * @param batch The mutations to send, in queue order.
+     * @throws Exception catch-all for if anything goes wrong sending. The batch
+     *                   will be retried after the flush delay.
+     */
+    abstract public void saveRemote(List<MUTATION> batch) throws Exception;
+}
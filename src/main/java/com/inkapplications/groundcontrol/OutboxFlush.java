@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.functions.Action0;
+
+/**
+ * Scheduled action for sending the next batch of an outbox.
+ */
+final class OutboxFlush implements Action0
+{
+    /** The outbox to send a batch from. */
+    final private Outbox<?> outbox;
+
+    /**
+     * @param outbox The outbox to send a batch from.
+     */
+    public OutboxFlush(Outbox<?> outbox)
+    {
+        this.outbox = outbox;
+    }
+
+    @Override
+    public void call()
+    {
+        this.outbox.send();
+    }
+}
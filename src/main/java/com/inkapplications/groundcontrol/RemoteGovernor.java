@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+/**
+ * Controls when workers are allowed to make calls to a remote source.
+ *
+ * A single governor is meant to be shared by every worker that talks to the
+ * same backend, so that limits apply across all keys rather than per request.
+ * Each remote call is wrapped in an acquire/release pair:
+ *
+ * ~~~
+ * governor.acquire();
+ * try {
+ *     // remote call
+ * } finally {
+ *     governor.release();
+ * }
+ * ~~~
+ */
+public interface RemoteGovernor
+{
+    /**
+     * Wait until a remote call is allowed to start.
+     *
+     * @throws Exception If the call should not be made at all, such as when
+     *                   waiting would take too long or the thread is interrupted.
+     */
+    void acquire() throws Exception;
+
+    /**
+     * Notify that a remote call allowed by {@link #acquire()} has finished.
+     */
+    void release();
+}
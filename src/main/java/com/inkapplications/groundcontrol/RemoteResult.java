@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+/**
+ * The outcome of a conditional remote lookup.
+ *
+ * A conditional lookup sends the validator from the last sync, such as an
+ * ETag or version number, and the remote source can answer that nothing has
+ * changed instead of sending the data again.
+ *
+ * @param <YIELD> The type of data returned by the remote lookup.
+ */
+final public class RemoteResult<YIELD>
+{
+    /** Whether the remote data has changed since the validator was issued. */
+    final private boolean modified;
+
+    /** The remote data, if it was modified. */
+    final private YIELD yield;
+
+    /** The validator for the remote data, if the remote source provided one. */
+    final private String validator;
+
+    /**
+     * @param modified Whether the remote data has changed since the validator was issued.
+     * @param yield The remote data, if it was modified.
+     * @param validator The validator for the remote data, if the remote source provided one.
+     */
+    private RemoteResult(boolean modified, YIELD yield, String validator)
+    {
+        this.modified = modified;
+        this.yield = yield;
+        this.validator = validator;
+    }
+
+    /**
+     * Create a result containing new remote data.
+     *
+     * @param yield The entity or entities to be saved in the local database.
+     * @param validator The validator to send with the next lookup, or null if
+     *                  the remote source didn't provide one.
+     * @return A modified result.
+     */
+    public static <YIELD> RemoteResult<YIELD> modified(YIELD yield, String validator)
+    {
+        return new RemoteResult<YIELD>(true, yield, validator);
+    }
+
+    /**
+     * Create a result for when the remote data has not changed.
+     *
+     * @return A result with no data, indicating the local data is current.
+     */
+    public static <YIELD> RemoteResult<YIELD> notModified()
+    {
+        return new RemoteResult<YIELD>(false, null, null);
+    }
+
+    /**
+     * @return Whether the remote data has changed since the validator was issued.
+     */
+    public boolean isModified()
+    {
+        return this.modified;
+    }
+
+    /**
+     * @return The remote data, or null if it was not modified.
+     */
+    public YIELD getYield()
+    {
+        return this.yield;
+    }
+
+    /**
+     * @return The validator for the remote data, or null if none was provided.
+     */
+    public String getValidator()
+    {
+        return this.validator;
+    }
+}
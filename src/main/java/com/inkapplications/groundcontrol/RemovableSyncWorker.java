@@ -5,6 +5,8 @@
 package com.inkapplications.groundcontrol;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.Callable;
 
 /**
  * A remote synchronized worker that provides an API for updated removed entities.
@@ -14,13 +16,45 @@ import java.sql.SQLException;
  */
 abstract public class RemovableSyncWorker<YIELD> extends SyncWorker<YIELD>
 {
+    public RemovableSyncWorker()
+    {
+        super();
+    }
+
+    /**
+     * @param remoteGovernor Controls when remote lookups are allowed to run.
+     */
+    public RemovableSyncWorker(RemoteGovernor remoteGovernor)
+    {
+        super(remoteGovernor);
+    }
+
     @Override
     protected void syncRemote() throws Exception
     {
         super.syncRemote();
 
-        YIELD removed = this.lookupRemovedRemote();
+        RequestTrace trace = RequestTrace.current();
+
+        YIELD removed = this.callRemote("lookupRemovedRemote", new Callable<YIELD>() {
+            @Override
+            public YIELD call() throws Exception
+            {
+                return RemovableSyncWorker.this.lookupRemovedRemote();
+            }
+        });
+
+        long started = RequestTrace.clock(trace);
         this.removeLocal(removed);
+        RequestTrace.record(trace, "removeLocal", started);
+
+        if (removed instanceof Collection) {
+            if (false == ((Collection) removed).isEmpty()) {
+                this.markLocalChanged();
+            }
+        } else if (null != removed) {
+            this.markLocalChanged();
+        }
     }
 
     /**
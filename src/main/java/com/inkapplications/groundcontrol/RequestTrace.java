@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The timeline of a single sampled request.
+ *
+ * While a traced request's worker is running, its trace is available to the
+ * worker thread through {@link #current()}, so that workers can record their
+ * phases without needing to know about the subscription factory.
+ * Untraced requests have no trace; the static helpers here accept null so
+ * that workers don't need to check.
+ *
+ * ~~~
+ * RequestTrace trace = RequestTrace.current();
+ * long started = RequestTrace.clock(trace);
+ * YIELD yield = this.lookupLocal();
+ * RequestTrace.record(trace, "lookupLocal", started);
+ * ~~~
+ */
+final public class RequestTrace
+{
+    /** The trace of the request being worked on by the current thread. */
+    final private static ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<RequestTrace>();
+
+    /** Where this trace's spans are recorded. */
+    final private RequestTracer tracer;
+
+    /** Unique identifier of this request. */
+    final private long id;
+
+    /** The key of the request being traced. */
+    final private String key;
+
+    /** When the request was created, in nanoseconds. */
+    final private long created;
+
+    /** Times that results were emitted and are waiting to be delivered. */
+    final private ConcurrentLinkedQueue<Long> emitted = new ConcurrentLinkedQueue<Long>();
+
+    /**
+     * @param tracer Where this trace's spans are recorded.
+     * @param id Unique identifier of this request.
+     * @param key The key of the request being traced.
+     */
+    RequestTrace(RequestTracer tracer, long id, String key)
+    {
+        this.tracer = tracer;
+        this.id = id;
+        this.key = key;
+        this.created = System.nanoTime();
+    }
+
+    /**
+     * Get the trace of the request being worked on by the current thread.
+     *
+     * @return The current request's trace, or null if it isn't being traced.
+     */
+    public static RequestTrace current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the start time for a phase of a request.
+     *
+     * @param trace The request's trace, or null if it isn't being traced.
+     * @return The current time in nanoseconds, or 0 if not tracing.
+     */
+    public static long clock(RequestTrace trace)
+    {
+        if (null == trace) {
+            return 0;
+        }
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Record a phase of a request that ends now.
+     *
+     * @param trace The request's trace, or null if it isn't being traced.
+     * @param name Name of the phase.
+     * @param started When the phase started, from {@link #clock}.
+     */
+    public static void record(RequestTrace trace, String name, long started)
+    {
+        if (null == trace) {
+            return;
+        }
+
+        trace.record(name, started);
+    }
+
+    /**
+     * Record a phase of this request that ends now.
+     *
+     * @param name Name of the phase.
+     * @param started When the phase started, in nanoseconds.
+     */
+    public void record(String name, long started)
+    {
+        long now = System.nanoTime();
+        long thread = Thread.currentThread().getId();
+
+        this.tracer.record(new TraceSpan(name, this.id, this.key, thread, started, now - started));
+    }
+
+    /**
+     * @return When the request was created, in nanoseconds.
+     */
+    long getCreated()
+    {
+        return this.created;
+    }
+
+    /**
+     * Make this the current trace for the calling thread.
+     *
+     * @return The trace that was current before, to restore with {@link #unbind}.
+     */
+    RequestTrace bind()
+    {
+        RequestTrace previous = CURRENT.get();
+        CURRENT.set(this);
+
+        return previous;
+    }
+
+    /**
+     * Restore the trace that was current before this one was bound.
+     *
+     * This keeps an outer request's trace intact when requests run nested on
+     * the same thread, such as with an immediate scheduler.
+     *
+     * @param previous The trace returned by {@link #bind}, or null if there wasn't one.
+     */
+    void unbind(RequestTrace previous)
+    {
+        if (null == previous) {
+            CURRENT.remove();
+            return;
+        }
+
+        CURRENT.set(previous);
+    }
+
+    /**
+     * Note that a result has been emitted and is waiting to be delivered.
+     */
+    void markEmitted()
+    {
+        this.emitted.add(System.nanoTime());
+    }
+
+    /**
+     * Record the delivery of the oldest emitted result.
+     */
+    void markDelivered()
+    {
+        Long started = this.emitted.poll();
+        if (null == started) {
+            return;
+        }
+
+        this.record("observeOn", started);
+    }
+}
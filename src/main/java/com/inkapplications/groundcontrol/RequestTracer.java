@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records a timeline of the phases of individual requests.
+ *
+ * Aggregate timings can't explain why one particular request was slow. When
+ * a request is sampled, each of its phases (waiting on the scheduler, each
+ * worker lookup and save, delivery to the observer thread, and every
+ * observer joined to it) is recorded as a span.
+ *
+ * Spans are kept in a fixed size ring buffer, so only the most recent ones
+ * are retained. They can be written out in the Chrome trace event format
+ * and opened in chrome://tracing for offline analysis. Each request is shown
+ * as its own process, with a row for each thread that worked on it.
+ *
+ * With a sample rate of 0, no requests are traced and the cost to the
+ * workers is a thread-local lookup per call.
+ */
+public class RequestTracer
+{
+    /** Recently recorded spans, overwritten oldest first when full. */
+    final private TraceSpan[] spans;
+
+    /** Fraction of requests to trace, from 0 to 1. */
+    final private double sampleRate;
+
+    /** Decides which requests are sampled. */
+    final private Random sampler = new Random();
+
+    /** Source of unique request identifiers. */
+    final private AtomicLong traceIds = new AtomicLong();
+
+    /** Time that exported timestamps are relative to. */
+    final private long origin = System.nanoTime();
+
+    /** Index in the buffer that the next span will be written to. */
+    private int next = 0;
+
+    /** Whether the buffer has filled and started overwriting spans. */
+    private boolean wrapped = false;
+
+    /**
+     * @param capacity The number of most recent spans to keep.
+     * @param sampleRate Fraction of requests to trace, from 0 (none) to 1 (all).
+     */
+    public RequestTracer(int capacity, double sampleRate)
+    {
+        this.spans = new TraceSpan[Math.max(0, capacity)];
+        this.sampleRate = this.spans.length > 0 ? sampleRate : 0;
+    }
+
+    /**
+     * Start tracing a new request, if it is sampled.
+     *
+     * @param key The key of the request being started.
+     * @return The trace to record the request's phases on, or null if the
+     *         request is not being traced.
+     */
+    public RequestTrace begin(String key)
+    {
+        if (this.sampleRate <= 0) {
+            return null;
+        }
+
+        if (this.sampleRate < 1 && this.sampler.nextDouble() >= this.sampleRate) {
+            return null;
+        }
+
+        return new RequestTrace(this, this.traceIds.incrementAndGet(), key);
+    }
+
+    /**
+     * Add a span to the buffer, replacing the oldest one if full.
+     */
+    synchronized void record(TraceSpan span)
+    {
+        this.spans[this.next] = span;
+        this.next++;
+        if (this.next == this.spans.length) {
+            this.next = 0;
+            this.wrapped = true;
+        }
+    }
+
+    /**
+     * Remove all recorded spans.
+     */
+    public synchronized void clear()
+    {
+        for (int i = 0; i < this.spans.length; i++) {
+            this.spans[i] = null;
+        }
+        this.next = 0;
+        this.wrapped = false;
+    }
+
+    /**
+     * Write the recorded spans to a file in the Chrome trace event format.
+     *
+     * @param file The file to write the trace to. Replaced if it exists.
+     * @throws IOException If the file could not be written.
+     */
+    public void export(File file) throws IOException
+    {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        try {
+            this.writeChromeTrace(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Write the recorded spans in the Chrome trace event format.
+     *
+     * @param writer Destination for the trace JSON.
+     * @throws IOException If the trace could not be written.
+     */
+    public void writeChromeTrace(Writer writer) throws IOException
+    {
+        TraceSpan[] recorded = this.recorded();
+
+        writer.write("{\"traceEvents\":[");
+        for (int i = 0; i < recorded.length; i++) {
+            TraceSpan span = recorded[i];
+            if (i > 0) {
+                writer.write(",");
+            }
+            writer.write("\n{\"name\":\"");
+            writer.write(escape(span.name));
+            writer.write("\",\"cat\":\"groundcontrol\",\"ph\":\"X\",\"ts\":");
+            writer.write(Long.toString((span.start - this.origin) / 1000));
+            writer.write(",\"dur\":");
+            writer.write(Long.toString(span.duration / 1000));
+            writer.write(",\"pid\":");
+            writer.write(Long.toString(span.traceId));
+            writer.write(",\"tid\":");
+            writer.write(Long.toString(span.threadId));
+            writer.write(",\"args\":{\"key\":\"");
+            writer.write(escape(span.key));
+            writer.write("\"}}");
+        }
+        writer.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+        writer.flush();
+    }
+
+    /**
+     * Copy the recorded spans, oldest first.
+     */
+    private synchronized TraceSpan[] recorded()
+    {
+        int count = this.wrapped ? this.spans.length : this.next;
+        int first = this.wrapped ? this.next : 0;
+
+        TraceSpan[] recorded = new TraceSpan[count];
+        for (int i = 0; i < count; i++) {
+            recorded[i] = this.spans[(first + i) % this.spans.length];
+        }
+
+        return recorded;
+    }
+
+    /**
+     * Escape a value for use inside a JSON string.
+     */
+    private static String escape(String value)
+    {
+        if (null == value) {
+            return "";
+        }
+
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        escaped.append(character);
+                    }
+            }
+        }
+
+        return escaped.toString();
+    }
+}
@@ -21,8 +21,11 @@ abstract public class SingleYieldWorker<YIELD> implements Worker<YIELD>
     @Override
     final public void call(Subscriber<? super YIELD> subscriber)
     {
+        RequestTrace trace = RequestTrace.current();
         try {
+            long started = RequestTrace.clock(trace);
             YIELD yield = this.lookupLocal();
+            RequestTrace.record(trace, "lookupLocal", started);
             subscriber.onNext(yield);
         } catch (Exception e) {
             subscriber.onError(e);
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Scheduler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+
+/**
+ * Stores the last known data for each key in a file for fast startup.
+ *
+ * Each key gets its own small file containing its serialized data, so that
+ * a cold start can show the last known data for a key without waiting on a
+ * database query or loading the database. Snapshots are small, so each file
+ * is read into a heap buffer through its file channel. Files are not memory
+ * mapped, since a live mapping would keep the file from being replaced on
+ * some platforms.
+ *
+ * File layout:
+ *  - int: format marker
+ *  - int: format version
+ *  - int + bytes: the UTF-8 key that the file belongs to
+ *  - int + bytes: the serialized data
+ *  - long: CRC32 checksum of the serialized data
+ *
+ * A missing, corrupt or unreadable snapshot is treated as a cache miss.
+ * Writes go to a temporary file that replaces the snapshot when complete,
+ * so readers never see a partial write.
+ *
+ * @param <YIELD> The type of data being stored in the snapshots.
+ */
+public class SnapshotCache<YIELD>
+{
+    /** Marker at the start of every snapshot file. */
+    final private static int MAGIC = 0x47435350;
+
+    /** Version of the snapshot file layout. */
+    final private static int VERSION = 1;
+
+    /** Extension used for snapshot file names. */
+    final private static String EXTENSION = ".snapshot";
+
+    final private Log logger;
+
+    /** Directory that the snapshot files are stored in. */
+    final private File directory;
+
+    /** Converts data to and from the bytes stored in a snapshot. */
+    final private SnapshotSerializer<YIELD> serializer;
+
+    /** Runs snapshot writes sequentially in the background. */
+    final private Scheduler.Worker writeScheduler;
+
+    /**
+     * @param logger Log snapshot read and write failures.
+     * @param directory Directory that the snapshot files are stored in.
+     * @param serializer Converts data to and from the bytes stored in a snapshot.
+     * @param writeScheduler Background scheduler to write snapshots on.
+     */
+    public SnapshotCache(
+        Log logger,
+        File directory,
+        SnapshotSerializer<YIELD> serializer,
+        Scheduler writeScheduler
+    ) {
+        this.logger = logger;
+        this.directory = directory;
+        this.serializer = serializer;
+        this.writeScheduler = writeScheduler.createWorker();
+    }
+
+    /**
+     * @param directory Directory that the snapshot files are stored in.
+     * @param serializer Converts data to and from the bytes stored in a snapshot.
+     * @param writeScheduler Background scheduler to write snapshots on.
+     */
+    public SnapshotCache(File directory, SnapshotSerializer<YIELD> serializer, Scheduler writeScheduler)
+    {
+        this(new NullLogger(), directory, serializer, writeScheduler);
+    }
+
+    /**
+     * Read the last known data for a key.
+     *
+     * @param key The key that the data was stored under.
+     * @return The stored data, or null if there is no usable snapshot.
+     */
+    public YIELD read(String key)
+    {
+        File file = this.fileFor(key);
+        if (false == file.exists()) {
+            return null;
+        }
+
+        try {
+            byte[] data = this.readData(file, key);
+            if (null == data) {
+                return null;
+            }
+
+            return this.serializer.deserialize(data);
+        } catch (IOException e) {
+            this.logger.warn("Unable to read snapshot for key: " + key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the snapshot for a key in the background.
+     *
+     * Writes are run in the order they are requested, so the latest data
+     * written for a key will be the one kept.
+     *
+     * @param key The key to store the data under.
+     * @param yield The data to store.
+     */
+    public void write(String key, YIELD yield)
+    {
+        this.writeScheduler.schedule(new SnapshotWrite<YIELD>(this, key, yield));
+    }
+
+    /**
+     * Replace the snapshot for a key immediately.
+     *
+     * @param key The key to store the data under.
+     * @param yield The data to store.
+     * @throws IOException If the snapshot could not be written.
+     */
+    public void writeNow(String key, YIELD yield) throws IOException
+    {
+        byte[] data = this.serializer.serialize(yield);
+        byte[] keyData = key.getBytes("UTF-8");
+        CRC32 checksum = new CRC32();
+        checksum.update(data);
+
+        if (false == this.directory.isDirectory() && false == this.directory.mkdirs()) {
+            throw new IOException("Unable to create snapshot directory: " + this.directory);
+        }
+
+        File file = this.fileFor(key);
+        File temporary = new File(this.directory, file.getName() + ".tmp");
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+        try {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(keyData.length);
+            output.write(keyData);
+            output.writeInt(data.length);
+            output.write(data);
+            output.writeLong(checksum.getValue());
+        } finally {
+            output.close();
+        }
+
+        if (temporary.renameTo(file)) {
+            return;
+        }
+
+        // Some platforms will not rename over an existing file.
+        file.delete();
+        if (false == temporary.renameTo(file)) {
+            temporary.delete();
+            throw new IOException("Unable to replace snapshot file: " + file);
+        }
+    }
+
+    /**
+     * Delete the snapshot for a key.
+     *
+     * @param key The key to remove the snapshot of.
+     */
+    public void remove(String key)
+    {
+        File file = this.fileFor(key);
+        if (file.exists() && false == file.delete()) {
+            this.logger.warn("Unable to delete snapshot for key: " + key);
+        }
+    }
+
+    /**
+     * Stop writing snapshots and release the write scheduler worker.
+     *
+     * Writes that have not run yet are discarded.
+     */
+    public void close()
+    {
+        this.writeScheduler.unsubscribe();
+    }
+
+    /**
+     * Report a background write that could not be completed.
+     */
+    final void writeFailed(String key, IOException cause)
+    {
+        this.logger.warn("Unable to write snapshot for key: " + key, cause);
+    }
+
+    /**
+     * Read a snapshot file and extract the serialized data from it.
+     *
+     * @return The serialized data, or null if the file is not a valid snapshot of the key.
+     */
+    private byte[] readData(File file, String key) throws IOException
+    {
+        RandomAccessFile access = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = access.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                this.logger.warn("Ignoring oversized snapshot for key: " + key);
+                return null;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the whole file is buffered.
+            }
+            buffer.flip();
+
+            if (MAGIC != buffer.getInt() || VERSION != buffer.getInt()) {
+                this.logger.debug("Ignoring snapshot with unknown format for key: " + key);
+                return null;
+            }
+
+            byte[] keyData = readBlock(buffer);
+            if (null == keyData) {
+                this.logger.warn("Ignoring corrupt snapshot for key: " + key);
+                return null;
+            }
+            if (false == key.equals(new String(keyData, "UTF-8"))) {
+                this.logger.debug("Ignoring snapshot belonging to a different key: " + key);
+                return null;
+            }
+
+            byte[] data = readBlock(buffer);
+            if (null == data) {
+                this.logger.warn("Ignoring corrupt snapshot for key: " + key);
+                return null;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(data);
+            if (checksum.getValue() != buffer.getLong()) {
+                this.logger.warn("Ignoring corrupt snapshot for key: " + key);
+                return null;
+            }
+
+            return data;
+        } catch (BufferUnderflowException e) {
+            this.logger.warn("Ignoring truncated snapshot for key: " + key);
+            return null;
+        } finally {
+            access.close();
+        }
+    }
+
+    /**
+     * Read a length-prefixed block of bytes from a snapshot.
+     *
+     * The length is checked against the bytes left in the file before
+     * allocating, so a corrupt length can't cause a huge allocation.
+     *
+     * @return The block's bytes, or null if the length is not valid.
+     */
+    private static byte[] readBlock(ByteBuffer buffer)
+    {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+
+        byte[] block = new byte[length];
+        buffer.get(block);
+
+        return block;
+    }
+
+    /**
+     * Get the snapshot file for a key.
+     *
+     * Keys are hashed so that any key can be used as a safe file name.
+     */
+    private File fileFor(String key)
+    {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(key.getBytes("UTF-8"));
+
+            StringBuilder name = new StringBuilder(hash.length * 2 + EXTENSION.length());
+            for (byte part : hash) {
+                name.append(Character.forDigit((part >> 4) & 0xF, 16));
+                name.append(Character.forDigit(part & 0xF, 16));
+            }
+            name.append(EXTENSION);
+
+            return new File(this.directory, name.toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available on this platform.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("UTF-8 is not available on this platform.", e);
+        }
+    }
+}
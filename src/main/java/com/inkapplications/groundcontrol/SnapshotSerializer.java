@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import java.io.IOException;
+
+/**
+ * Converts worker yields to and from the bytes stored in a snapshot file.
+ *
+ * @param <YIELD> The type of data being stored in the snapshot.
+ */
+public interface SnapshotSerializer<YIELD>
+{
+    /**
+     * Convert data into bytes to be written to a snapshot.
+     *
+     * @param yield The data to store.
+     * @return A compact binary form of the data.
+     * @throws IOException If the data cannot be serialized.
+     */
+    public byte[] serialize(YIELD yield) throws IOException;
+
+    /**
+     * Convert bytes read from a snapshot back into data.
+     *
+     * @param data The bytes previously produced by {@link #serialize}.
+     * @return The restored data.
+     * @throws IOException If the bytes cannot be read as data.
+     */
+    public YIELD deserialize(byte[] data) throws IOException;
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Subscriber;
+
+/**
+ * Subscriber for refreshing a snapshot with the last result of a worker.
+ *
+ * Passes every event on to the original subscriber, keeping the latest
+ * result. When the worker completes, that result is written to the snapshot
+ * cache in the background, unless it's the snapshot that was just read.
+ *
+ * @param <YIELD> The type of data being stored in the snapshot.
+ */
+final class SnapshotSubscriber<YIELD> extends Subscriber<YIELD>
+{
+    /** The subscriber to pass events on to. */
+    final private Subscriber<? super YIELD> subscriber;
+
+    /** Storage of the last known data for each key. */
+    final private SnapshotCache<YIELD> cache;
+
+    /** The key to store results under. */
+    final private String key;
+
+    /** The snapshot that was read before the worker ran, or null if none. */
+    final private YIELD snapshot;
+
+    /** The latest result worth storing, or null if there hasn't been one. */
+    private YIELD latest;
+
+    /**
+     * @param subscriber The subscriber to pass events on to.
+     * @param cache Storage of the last known data for each key.
+     * @param key The key to store results under.
+     * @param snapshot The snapshot that was read before the worker ran, or null if none.
+     */
+    public SnapshotSubscriber(
+        Subscriber<? super YIELD> subscriber,
+        SnapshotCache<YIELD> cache,
+        String key,
+        YIELD snapshot
+    ) {
+        super(subscriber);
+        this.subscriber = subscriber;
+        this.cache = cache;
+        this.key = key;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void onNext(YIELD yield)
+    {
+        if (SnapshotWorker.hasData(yield)) {
+            this.latest = yield;
+        }
+
+        this.subscriber.onNext(yield);
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+        this.subscriber.onError(e);
+    }
+
+    @Override
+    public void onCompleted()
+    {
+        if (null != this.latest && false == this.latest.equals(this.snapshot)) {
+            this.cache.write(this.key, this.latest);
+        }
+        this.latest = null;
+
+        this.subscriber.onCompleted();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Subscriber;
+
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * A worker that shows the last known data before running another worker.
+ *
+ * Wraps any worker so that, on subscribe, the subscriber is immediately given
+ * the snapshot stored for the key before the wrapped worker's local lookup
+ * finishes. When the wrapped worker completes, its last result is written
+ * back to the snapshot in the background, keeping it fresh for the next start.
+ *
+ * Like the sync worker's first lookup, empty collections are never stored
+ * or shown from a snapshot, so a subscriber isn't shown an empty result
+ * before the real data arrives.
+ *
+ * This is optional and can be used on a per-key basis:
+ *
+ * ~~~
+ * Worker<Foo> worker = new SnapshotWorker<Foo>(new FooWorker(), cache, key);
+ * subscriptionFactory.createSubscription(worker, observer, key);
+ * ~~~
+ *
+ * @param <YIELD> The type of data that the worker will lookup and return.
+ */
+public class SnapshotWorker<YIELD> implements Worker<YIELD>
+{
+    /** The worker that looks up the current data. */
+    final private Worker<YIELD> worker;
+
+    /** Storage of the last known data for each key. */
+    final private SnapshotCache<YIELD> cache;
+
+    /** The key that this worker's snapshot is stored under. */
+    final private String key;
+
+    /**
+     * @param worker The worker that looks up the current data.
+     * @param cache Storage of the last known data for each key.
+     * @param key The key that this worker's snapshot is stored under.
+     */
+    public SnapshotWorker(Worker<YIELD> worker, SnapshotCache<YIELD> cache, String key)
+    {
+        this.worker = worker;
+        this.cache = cache;
+        this.key = key;
+    }
+
+    @Override
+    final public void call(Subscriber<? super YIELD> subscriber)
+    {
+        YIELD snapshot = this.cache.read(this.key);
+        if (hasData(snapshot)) {
+            subscriber.onNext(snapshot);
+        }
+
+        this.worker.call(new SnapshotSubscriber<YIELD>(subscriber, this.cache, this.key, snapshot));
+    }
+
+    @Override
+    public YIELD lookupLocal() throws SQLException
+    {
+        return this.worker.lookupLocal();
+    }
+
+    /**
+     * Check whether a result is worth storing in or showing from a snapshot.
+     *
+     * @param yield The result to check.
+     * @return False for null results and empty collections.
+     */
+    static boolean hasData(Object yield)
+    {
+        if (yield instanceof Collection) {
+            return false == ((Collection) yield).isEmpty();
+        }
+
+        return null != yield;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.functions.Action0;
+
+import java.io.IOException;
+
+/**
+ * Scheduled action for writing a snapshot in the background.
+ *
+ * Failures are logged by the cache and otherwise ignored, since a missing
+ * snapshot only means a slower start.
+ *
+ * @param <YIELD> The type of data being stored in the snapshot.
+ */
+final class SnapshotWrite<YIELD> implements Action0
+{
+    /** The cache to write the snapshot into. */
+    final private SnapshotCache<YIELD> cache;
+
+    /** The key to store the data under. */
+    final private String key;
+
+    /** The data to store. */
+    final private YIELD yield;
+
+    /**
+     * @param cache The cache to write the snapshot into.
+     * @param key The key to store the data under.
+     * @param yield The data to store.
+     */
+    public SnapshotWrite(SnapshotCache<YIELD> cache, String key, YIELD yield)
+    {
+        this.cache = cache;
+        this.key = key;
+        this.yield = yield;
+    }
+
+    @Override
+    public void call()
+    {
+        try {
+            this.cache.writeNow(this.key, this.yield);
+        } catch (IOException e) {
+            this.cache.writeFailed(this.key, e);
+        }
+    }
+}
@@ -22,6 +22,9 @@ import java.util.List;
  * This is intended to be used in a repository when looking up remote data.
  * Observers are run on Android's main thread, and background is run on IO.
  *
+ * If a request tracer is provided, sampled requests will record the time
+ * spent in each phase of the request, including every observer joined to it.
+ *
  * @param <ENTITY> The entity that this repository represents.
  */
 @SuppressWarnings("unused")
@@ -31,17 +34,31 @@ public class SubscriptionFactory<ENTITY>
     final private Scheduler subscribeScheduler;
     final private Scheduler observeScheduler;
 
+    /** Records the phases of sampled requests. */
+    final private RequestTracer tracer;
+
     /** Stores in-flight requests. */
     final private RequestCollection<ENTITY> requests;
 
     /** Stores in-flight requests when fetching a collection. */
     final private RequestCollection<List<ENTITY>> collectionRequests;
 
+    public SubscriptionFactory(Log logger, Scheduler subscribeOn, Scheduler observeOn, RequestTracer tracer)
+    {
+        this.logger = logger;
+        this.subscribeScheduler = subscribeOn;
+        this.observeScheduler = observeOn;
+        this.tracer = tracer;
+        this.requests = new RequestCollection<ENTITY>();
+        this.collectionRequests = new RequestCollection<List<ENTITY>>();
+    }
+
     public SubscriptionFactory(Log logger, Scheduler subscribeOn, Scheduler observeOn)
     {
         this.logger = logger;
         this.subscribeScheduler = subscribeOn;
         this.observeScheduler = observeOn;
+        this.tracer = new RequestTracer(0, 0);
         this.requests = new RequestCollection<ENTITY>();
         this.collectionRequests = new RequestCollection<List<ENTITY>>();
     }
@@ -51,6 +68,7 @@ public class SubscriptionFactory<ENTITY>
         this.logger = new NullLogger();
         this.subscribeScheduler = subscribeOn;
         this.observeScheduler = observeOn;
+        this.tracer = new RequestTracer(0, 0);
         this.requests = new RequestCollection<ENTITY>();
         this.collectionRequests = new RequestCollection<List<ENTITY>>();
     }
@@ -73,15 +91,14 @@ public class SubscriptionFactory<ENTITY>
         String key
     ) {
         this.logger.trace("Creating collection subscription for Key: " + key);
-        Observable<List<ENTITY>> callback = Observable.create(onSubscribe);
-        callback = callback.subscribeOn(this.subscribeScheduler);
-        callback = callback.observeOn(this.observeScheduler);
-
 
         CompositeRequestManager<List<ENTITY>> previousRequest = this.collectionRequests.get(key);
         Subscription subscription;
         if (null == previousRequest) {
             this.logger.debug("No previous request to join.");
+            RequestTrace trace = this.tracer.begin(key);
+            Observable<List<ENTITY>> callback = this.createCallback(onSubscribe, trace);
+
             ReplaySubject<List<ENTITY>> composite = ReplaySubject.create();
             Action0 unsubscribeCleanup = new UnsubscribeCleanup<List<ENTITY>>(this.logger, this.collectionRequests, key);
             Action0 completeCleanup = new CompleteCleanup<List<ENTITY>>(this.logger, this.collectionRequests, key);
@@ -92,13 +109,14 @@ public class SubscriptionFactory<ENTITY>
             CompositeRequestManager<List<ENTITY>> requestManager = new CompositeRequestManager<List<ENTITY>>(
                 composite,
                 mainSubscription,
-                unsubscribeCleanup
+                unsubscribeCleanup,
+                trace
             );
             this.collectionRequests.put(key, requestManager);
-            subscription = requestManager.subscribe(observer);
+            subscription = requestManager.subscribe(this.traceObserver(observer, trace, "observer"));
         } else {
             this.logger.debug("Joining with previous request.");
-            subscription = previousRequest.subscribe(observer);
+            subscription = previousRequest.subscribe(this.traceObserver(observer, previousRequest.getTrace(), "joiner"));
         }
 
         return subscription;
@@ -122,14 +140,14 @@ public class SubscriptionFactory<ENTITY>
         String key
     ) {
         this.logger.trace("Creating subscription for Key: " + key);
-        Observable<ENTITY> callback = Observable.create(onSubscribe);
-        callback = callback.subscribeOn(this.subscribeScheduler);
-        callback = callback.observeOn(this.observeScheduler);
 
         CompositeRequestManager<ENTITY> previousRequest = this.requests.get(key);
         Subscription subscription;
         if (null == previousRequest) {
             this.logger.debug("No previous request to join.");
+            RequestTrace trace = this.tracer.begin(key);
+            Observable<ENTITY> callback = this.createCallback(onSubscribe, trace);
+
             ReplaySubject<ENTITY> composite = ReplaySubject.create();
             Action0 unsubscribeCleanup = new UnsubscribeCleanup<ENTITY>(this.logger, this.requests, key);
             Action0 completeCleanup = new CompleteCleanup<ENTITY>(this.logger, this.requests, key);
@@ -140,18 +158,58 @@ public class SubscriptionFactory<ENTITY>
             CompositeRequestManager<ENTITY> manager = new CompositeRequestManager<ENTITY>(
                 composite,
                 mainSubscription,
-                unsubscribeCleanup
+                unsubscribeCleanup,
+                trace
             );
             this.requests.put(key, manager);
-            subscription = manager.subscribe(observer);
+            subscription = manager.subscribe(this.traceObserver(observer, trace, "observer"));
         } else {
             this.logger.debug("Joining with previous request.");
-            subscription = previousRequest.subscribe(observer);
+            subscription = previousRequest.subscribe(this.traceObserver(observer, previousRequest.getTrace(), "joiner"));
         }
 
         return subscription;
     }
 
+    /**
+     * Create the observable that runs the request logic on the schedulers.
+     *
+     * @param onSubscribe Logic to run for the request.
+     * @param trace The trace of the request, or null if it isn't being traced.
+     * @return The request logic, subscribed and observed on this factory's schedulers.
+     */
+    private <T> Observable<T> createCallback(OnSubscribe<T> onSubscribe, RequestTrace trace)
+    {
+        if (null == trace) {
+            Observable<T> callback = Observable.create(onSubscribe);
+            callback = callback.subscribeOn(this.subscribeScheduler);
+            return callback.observeOn(this.observeScheduler);
+        }
+
+        Observable<T> callback = Observable.create(new TracedOnSubscribe<T>(onSubscribe, trace));
+        callback = callback.subscribeOn(this.subscribeScheduler);
+        callback = callback.doOnNext(new DeliveryMarker<T>(trace, false));
+        callback = callback.observeOn(this.observeScheduler);
+        return callback.doOnNext(new DeliveryMarker<T>(trace, true));
+    }
+
+    /**
+     * Wrap an observer to record how long it stays attached to a request.
+     *
+     * @param observer Callback to invoke on request events.
+     * @param trace The trace of the request, or null if it isn't being traced.
+     * @param name Name to record the observer's span with.
+     * @return The observer to subscribe to the request.
+     */
+    private <T> Observer<T> traceObserver(Observer<T> observer, RequestTrace trace, String name)
+    {
+        if (null == trace) {
+            return observer;
+        }
+
+        return new TracedObserver<T>(observer, trace, name);
+    }
+
     /**
      * Clears out all "in-flight" requests managed by this service.
      */
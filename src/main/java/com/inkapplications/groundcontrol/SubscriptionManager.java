@@ -4,32 +4,134 @@
  */
 package com.inkapplications.groundcontrol;
 
+import rx.Subscriber;
 import rx.Subscription;
+import rx.subscriptions.Subscriptions;
 
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Keeps track of active rx subscriptions so that we can manipulate them as a group.
  *
+ * Subscriptions can optionally be added with a tag, so that a group of them
+ * can be cancelled together without affecting the others.
+ *
+ * Subscribers, such as the ones returned by `Observable.subscribe`, are
+ * unsubscribed when they terminate, and stop being tracked at that point.
+ * Other subscriptions have no such callback, so the ones that have already
+ * terminated are pruned as new ones are added instead. This keeps the number
+ * of tracked subscriptions proportional to the number that are still live,
+ * even for long-lived managers.
+ * All operations are safe to call from multiple threads.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 public class SubscriptionManager
 {
-    /** A collection of open/active subscriptions. */
-    final private LinkedList<Subscription> subscriptions = new LinkedList<Subscription>();
+    /** Tag given to subscriptions added without one. */
+    final private static String UNTAGGED = "";
+
+    /** Number of tracked subscriptions to allow before the first prune. */
+    final private static int MINIMUM_PRUNE_THRESHOLD = 16;
+
+    /** A collection of open/active subscriptions and the tag each was added with. */
+    final private ConcurrentHashMap<Subscription, String> subscriptions = new ConcurrentHashMap<Subscription, String>();
+
+    /** Number of tracked subscriptions that will trigger the next prune. */
+    final private AtomicInteger pruneThreshold = new AtomicInteger(MINIMUM_PRUNE_THRESHOLD);
 
     /** Start tracking a new subscription. */
     public void add(Subscription subscription) {
-        this.subscriptions.add(subscription);
+        this.add(UNTAGGED, subscription);
+    }
+
+    /**
+     * Start tracking a new subscription as part of a group.
+     *
+     * @param tag Name of the group to add the subscription to.
+     * @param subscription The subscription to track.
+     */
+    public void add(String tag, Subscription subscription) {
+        this.subscriptions.put(subscription, tag);
+
+        if (subscription instanceof Subscriber) {
+            ((Subscriber<?>) subscription).add(Subscriptions.create(new SubscriptionRemoval(this, subscription)));
+            return;
+        }
+
+        int threshold = this.pruneThreshold.get();
+        if (this.subscriptions.size() >= threshold && this.pruneThreshold.compareAndSet(threshold, Integer.MAX_VALUE)) {
+            this.prune();
+        }
+    }
+
+    /**
+     * Stop tracking a subscription without unsubscribing it.
+     *
+     * @param subscription The subscription to stop tracking.
+     */
+    public void remove(Subscription subscription) {
+        this.subscriptions.remove(subscription);
+    }
+
+    /**
+     * Unsubscribe from each of the subscriptions in a group.
+     *
+     * @param tag Name of the group to cancel.
+     */
+    public final void unsubscribe(String tag) {
+        Iterator<Map.Entry<Subscription, String>> iterator = this.subscriptions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Subscription, String> entry = iterator.next();
+            if (entry.getValue().equals(tag)) {
+                iterator.remove();
+                entry.getKey().unsubscribe();
+            }
+        }
     }
 
     /**
      * Unsubscribe from each of the tracked subscriptions.
      */
     public final void unsubscribeAll() {
-        for (Subscription subscription : this.subscriptions) {
+        Iterator<Subscription> iterator = this.subscriptions.keySet().iterator();
+        while (iterator.hasNext()) {
+            Subscription subscription = iterator.next();
+            iterator.remove();
             subscription.unsubscribe();
         }
-        this.subscriptions.clear();
+    }
+
+    /**
+     * Get the number of tracked subscriptions.
+     *
+     * This may include non-subscriber subscriptions that have terminated
+     * since the last prune.
+     *
+     * @return The number of subscriptions being tracked.
+     */
+    public int size() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * Stop tracking any subscriptions that have already terminated.
+     *
+     * Afterwards, the next prune is scheduled for when the collection doubles
+     * in size, so the cost of pruning stays constant per added subscription.
+     */
+    private void prune() {
+        Iterator<Subscription> iterator = this.subscriptions.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isUnsubscribed()) {
+                iterator.remove();
+            }
+        }
+
+        int live = this.subscriptions.size();
+        this.pruneThreshold.set(Math.max(MINIMUM_PRUNE_THRESHOLD, live * 2));
     }
 }
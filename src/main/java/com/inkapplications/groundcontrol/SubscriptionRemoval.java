@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Subscription;
+import rx.functions.Action0;
+
+/**
+ * Stops tracking a subscription in a manager once it is unsubscribed.
+ *
+ * This is added to subscribers tracked by the subscription manager, so that
+ * they are removed from it as soon as they complete, fail or are cancelled.
+ */
+final class SubscriptionRemoval implements Action0
+{
+    /** Manager that is tracking the subscription. */
+    final private SubscriptionManager manager;
+
+    /** Subscription to stop tracking. */
+    final private Subscription subscription;
+
+    /**
+     * @param manager Manager that is tracking the subscription.
+     * @param subscription Subscription to stop tracking.
+     */
+    public SubscriptionRemoval(SubscriptionManager manager, Subscription subscription)
+    {
+        this.manager = manager;
+        this.subscription = subscription;
+    }
+
+    @Override
+    public void call()
+    {
+        this.manager.remove(this.subscription);
+    }
+}
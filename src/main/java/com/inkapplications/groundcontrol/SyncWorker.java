@@ -8,6 +8,7 @@ import rx.Subscriber;
 
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.concurrent.Callable;
 
 /**
  * A worker that synchronizes a remote data source with a local one.
@@ -19,11 +20,49 @@ import java.util.Collection;
  *
  *  This will complete the subscriber when finished.
  *
+ * If the remote data has not changed, the save and the second local lookup
+ * are skipped. Workers can detect this in two ways, both optional:
+ *  - Conditional lookups: store the validator (ETag, version, etc.) from the
+ *    last sync and report a not-modified result from
+ *    {@link #lookupRemoteIfModified(String)}.
+ *  - Content hashes: hash the remote data with {@link #hashRemote} and
+ *    store it, so that an identical payload can be detected.
+ * Either way, {@link #saveValidator(String)} is called after every
+ * successful sync, and is where the time of the last sync should be saved.
+ *
+ * Remote lookups can be limited by sharing a {@link RemoteGovernor} between
+ * workers, so that bursts of requests across many keys don't overwhelm the
+ * remote source.
+ *
  * @param <YIELD> The type of data that the worker will lookup and return.
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 abstract public class SyncWorker<YIELD> implements Worker<YIELD>
 {
+    /** Controls when remote lookups are allowed to run. */
+    final private RemoteGovernor remoteGovernor;
+
+    /**
+     * Whether the sync running on the current thread changed any local data.
+     *
+     * Kept per thread, so that overlapping requests on the same worker
+     * can't clear each other's result.
+     */
+    final private ThreadLocal<Boolean> localChanged = new ThreadLocal<Boolean>();
+
+    public SyncWorker()
+    {
+        this.remoteGovernor = new NullGovernor();
+    }
+
+    /**
+     * @param remoteGovernor Controls when remote lookups are allowed to run.
+     */
+    public SyncWorker(RemoteGovernor remoteGovernor)
+    {
+        this.remoteGovernor = remoteGovernor;
+    }
+
     @Override
     final public void call(Subscriber<? super YIELD> subscriber)
     {
@@ -42,22 +81,40 @@ abstract public class SyncWorker<YIELD> implements Worker<YIELD>
      * This will first lookup the local data and inform the subscriber.
      * If the local data is stale, it will look up the remote data and save it.
      * After saving remote data, it will do another local lookup.
+     * If the remote data was unchanged, the first lookup is used instead.
      */
     private void lookup(Subscriber<? super YIELD> subscriber) throws Exception
     {
+        RequestTrace trace = RequestTrace.current();
+
+        long started = RequestTrace.clock(trace);
         YIELD currentEvents = this.lookupLocal();
+        RequestTrace.record(trace, "lookupLocal", started);
+        boolean informed = false;
         if (currentEvents instanceof Collection) {
             if (false == ((Collection) currentEvents).isEmpty()) {
                 subscriber.onNext(currentEvents);
+                informed = true;
             }
         }
 
-        if (false == this.dataIsStale()) {
+        started = RequestTrace.clock(trace);
+        boolean stale = this.dataIsStale();
+        RequestTrace.record(trace, "dataIsStale", started);
+        if (false == stale) {
             return;
         }
 
-        this.syncRemote();
+        if (false == this.syncLocalChanges()) {
+            if (false == informed) {
+                subscriber.onNext(currentEvents);
+            }
+            return;
+        }
+
+        started = RequestTrace.clock(trace);
         YIELD newEvents = this.lookupLocal();
+        RequestTrace.record(trace, "lookupLocal", started);
         subscriber.onNext(newEvents);
     }
 
@@ -65,6 +122,11 @@ abstract public class SyncWorker<YIELD> implements Worker<YIELD>
      * Synchronize the remote API data with the local data.
      *
      * This looks up the remote entities and saves them to the local database.
+     * The remote lookup waits on the remote governor before it is run.
+     * Nothing is saved if the remote source reports that the data is not
+     * modified, or if its content hash matches the last saved data. In that
+     * case the local data is marked unchanged, and the second local lookup
+     * is skipped.
      *
      * @throws SQLException If anything goes wrong with the local data lookup.
      * @throws Exception catch-all for if anything goes wrong in the lookup. Not
@@ -72,8 +134,179 @@ abstract public class SyncWorker<YIELD> implements Worker<YIELD>
      */
     protected void syncRemote() throws Exception
     {
-        YIELD events = lookupRemote();
+        RequestTrace trace = RequestTrace.current();
+        final String validator = this.lookupValidator();
+
+        RemoteResult<YIELD> result = this.callRemote("lookupRemote", new Callable<RemoteResult<YIELD>>() {
+            @Override
+            public RemoteResult<YIELD> call() throws Exception
+            {
+                return SyncWorker.this.lookupRemoteIfModified(validator);
+            }
+        });
+
+        if (false == result.isModified()) {
+            this.localChanged.set(Boolean.FALSE);
+            this.saveValidator(null == result.getValidator() ? validator : result.getValidator());
+            return;
+        }
+
+        YIELD events = result.getYield();
+        String hash = this.hashRemote(events);
+        if (null != hash && hash.equals(this.lookupContentHash())) {
+            this.localChanged.set(Boolean.FALSE);
+            this.saveValidator(result.getValidator());
+            return;
+        }
+
+        long started = RequestTrace.clock(trace);
         this.saveLocal(events);
+        RequestTrace.record(trace, "saveLocal", started);
+
+        this.saveContentHash(hash);
+        this.saveValidator(result.getValidator());
+    }
+
+    /**
+     * Note that the current sync changed local data.
+     *
+     * Subclasses that change local data in {@link #syncRemote()} after the
+     * remote data was found unchanged should call this, so the local data is
+     * looked up again.
+     */
+    final protected void markLocalChanged()
+    {
+        this.localChanged.set(Boolean.TRUE);
+    }
+
+    /**
+     * Run {@link #syncRemote()} and report whether it changed local data.
+     *
+     * The previous result for the thread is restored afterwards, in case a
+     * sync is nested inside another one on the same thread.
+     *
+     * @return Whether the sync changed local data.
+     */
+    private boolean syncLocalChanges() throws Exception
+    {
+        Boolean previous = this.localChanged.get();
+        this.localChanged.set(Boolean.TRUE);
+        try {
+            this.syncRemote();
+            return this.localChanged.get();
+        } finally {
+            if (null == previous) {
+                this.localChanged.remove();
+            } else {
+                this.localChanged.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Fetch the remote data entities only if they have changed.
+     *
+     * Override this to send the validator from the last sync with the remote
+     * request, such as in an If-None-Match header.
+     * By default, this always runs {@link #lookupRemote()}.
+     *
+     * @param validator The validator from the last sync, or null if there isn't one.
+     * @return The remote data and its new validator, or a not-modified result.
+     * @throws Exception catch-all for if anything goes wrong in the lookup. Not
+     *                   considered fatal.
+     */
+    public RemoteResult<YIELD> lookupRemoteIfModified(String validator) throws Exception
+    {
+        return RemoteResult.modified(this.lookupRemote(), null);
+    }
+
+    /**
+     * Look up the validator stored from the last sync.
+     *
+     * @return The stored validator, or null if there isn't one.
+     * @throws SQLException If something goes wrong looking up local data.
+     */
+    public String lookupValidator() throws SQLException
+    {
+        return null;
+    }
+
+    /**
+     * Store the validator for the data that was just synced.
+     *
+     * This is called after every successful sync, including ones where the
+     * remote data was unchanged and nothing was saved. Since it confirms that
+     * the local data is current, this is also where the time of the last
+     * sync should be updated for {@link #dataIsStale()}.
+     *
+     * @param validator The new validator, or null if the remote source didn't provide one.
+     * @throws SQLException If something goes wrong saving the local data.
+     */
+    public void saveValidator(String validator) throws SQLException {}
+
+    /**
+     * Compute a hash of remote data for detecting identical payloads.
+     *
+     * The hash should be stable across restarts, so a digest of the remote
+     * response is preferred over {@link Object#hashCode()}.
+     * By default, no hash is computed and remote data is always saved.
+     *
+     * @param yield The remote data that was fetched.
+     * @return A hash of the data's contents, or null to always save the data.
+     */
+    public String hashRemote(YIELD yield)
+    {
+        return null;
+    }
+
+    /**
+     * Look up the content hash stored from the last sync.
+     *
+     * @return The stored content hash, or null if there isn't one.
+     * @throws SQLException If something goes wrong looking up local data.
+     */
+    public String lookupContentHash() throws SQLException
+    {
+        return null;
+    }
+
+    /**
+     * Store the content hash of the data that was just saved.
+     *
+     * @param hash The new content hash, or null if none was computed.
+     * @throws SQLException If something goes wrong saving the local data.
+     */
+    public void saveContentHash(String hash) throws SQLException {}
+
+    /**
+     * Run a remote call once the remote governor allows it.
+     *
+     * The wait on the governor and the call itself are recorded on the
+     * current request's trace, including when they fail or time out.
+     *
+     * @param name Name to record the call's span with.
+     * @param call The remote call to run.
+     * @return The result of the remote call.
+     * @throws Exception If the governor refuses the call, or the call fails.
+     */
+    final protected <T> T callRemote(String name, Callable<T> call) throws Exception
+    {
+        RequestTrace trace = RequestTrace.current();
+
+        long waited = RequestTrace.clock(trace);
+        try {
+            this.remoteGovernor.acquire();
+        } finally {
+            RequestTrace.record(trace, "remoteGovernor", waited);
+        }
+
+        long started = RequestTrace.clock(trace);
+        try {
+            return call.call();
+        } finally {
+            RequestTrace.record(trace, name, started);
+            this.remoteGovernor.release();
+        }
     }
 
     /**
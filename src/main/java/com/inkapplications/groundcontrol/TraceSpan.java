@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+/**
+ * A single timed phase recorded for a traced request.
+ */
+final class TraceSpan
+{
+    /** Name of the phase that was timed. */
+    final String name;
+
+    /** Identifier of the request this phase belongs to. */
+    final long traceId;
+
+    /** Key of the request this phase belongs to. */
+    final String key;
+
+    /** Id of the thread that recorded the phase. */
+    final long threadId;
+
+    /** When the phase started, in nanoseconds. */
+    final long start;
+
+    /** How long the phase took, in nanoseconds. */
+    final long duration;
+
+    /**
+     * @param name Name of the phase that was timed.
+     * @param traceId Identifier of the request this phase belongs to.
+     * @param key Key of the request this phase belongs to.
+     * @param threadId Id of the thread that recorded the phase.
+     * @param start When the phase started, in nanoseconds.
+     * @param duration How long the phase took, in nanoseconds.
+     */
+    public TraceSpan(String name, long traceId, String key, long threadId, long start, long duration)
+    {
+        this.name = name;
+        this.traceId = traceId;
+        this.key = key;
+        this.threadId = threadId;
+        this.start = start;
+        this.duration = duration;
+    }
+}
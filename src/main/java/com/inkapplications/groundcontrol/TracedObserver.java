@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Observer;
+import rx.functions.Action0;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Observer for recording how long an observer stays attached to a request.
+ *
+ * Passes every event on to the original observer and records a span from
+ * when it was attached until the request finished, or until the observer
+ * unsubscribed, whichever happens first. The span is only recorded once.
+ * This is also the action to run when the observer unsubscribes.
+ *
+ * @param <ENTITY> The type of data being observed.
+ */
+final class TracedObserver<ENTITY> implements Observer<ENTITY>, Action0
+{
+    /** The observer to pass events on to. */
+    final private Observer<ENTITY> observer;
+
+    /** The trace of the request being observed. */
+    final private RequestTrace trace;
+
+    /** Name to record the observer's span with. */
+    final private String name;
+
+    /** When the observer was attached, in nanoseconds. */
+    final private long attached;
+
+    /** Whether the observer's span has been recorded yet. */
+    final private AtomicBoolean recorded = new AtomicBoolean(false);
+
+    /**
+     * @param observer The observer to pass events on to.
+     * @param trace The trace of the request being observed.
+     * @param name Name to record the observer's span with.
+     */
+    public TracedObserver(Observer<ENTITY> observer, RequestTrace trace, String name)
+    {
+        this.observer = observer;
+        this.trace = trace;
+        this.name = name;
+        this.attached = System.nanoTime();
+    }
+
+    @Override
+    public void onNext(ENTITY entity)
+    {
+        this.observer.onNext(entity);
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+        this.finish();
+        this.observer.onError(e);
+    }
+
+    @Override
+    public void onCompleted()
+    {
+        this.finish();
+        this.observer.onCompleted();
+    }
+
+    /**
+     * Record the observer's span when it unsubscribes.
+     */
+    @Override
+    public void call()
+    {
+        this.finish();
+    }
+
+    /**
+     * Record the observer's span, unless it has already been recorded.
+     */
+    private void finish()
+    {
+        if (false == this.recorded.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.trace.record(this.name, this.attached);
+    }
+}
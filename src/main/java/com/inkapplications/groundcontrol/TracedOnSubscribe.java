@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.groundcontrol;
+
+import rx.Observable.OnSubscribe;
+import rx.Subscriber;
+
+/**
+ * Runs request logic with its trace bound to the worker thread.
+ *
+ * Records how long the request waited on the subscribe scheduler before it
+ * started, and how long the request logic took to run.
+ *
+ * @param <ENTITY> The type of data being emitted by the request.
+ */
+final class TracedOnSubscribe<ENTITY> implements OnSubscribe<ENTITY>
+{
+    /** The request logic to run. */
+    final private OnSubscribe<ENTITY> onSubscribe;
+
+    /** The trace of the request. */
+    final private RequestTrace trace;
+
+    /**
+     * @param onSubscribe The request logic to run.
+     * @param trace The trace of the request.
+     */
+    public TracedOnSubscribe(OnSubscribe<ENTITY> onSubscribe, RequestTrace trace)
+    {
+        this.onSubscribe = onSubscribe;
+        this.trace = trace;
+    }
+
+    @Override
+    public void call(Subscriber<? super ENTITY> subscriber)
+    {
+        long started = System.nanoTime();
+        this.trace.record("schedulerQueue", this.trace.getCreated());
+
+        RequestTrace previous = this.trace.bind();
+        try {
+            this.onSubscribe.call(subscriber);
+        } finally {
+            this.trace.unbind(previous);
+            this.trace.record("onSubscribe", started);
+        }
+    }
+}